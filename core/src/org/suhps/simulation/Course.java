@@ -0,0 +1,124 @@
+package org.suhps.simulation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The walls, barrier and obstacles of the course, created in a world.
+ */
+public class Course {
+
+    public static final String STANDARD = "standard";
+
+    public static final float WIDTH = 90f;
+    public static final float HEIGHT = 52f;
+    public static final float FLUID_DENSITY = 1000f;
+
+    private World mWorld;
+
+    private List<Body> mObstacles = new ArrayList<Body>();
+
+    private Course(World world) {
+        mWorld = world;
+    }
+
+    public static boolean isKnown(String name) {
+        return STANDARD.equals(name);
+    }
+
+    /**
+     * Create the course with the given name in the world.
+     */
+    public static Course create(String name, World world) {
+        if (!isKnown(name)) {
+            throw new IllegalArgumentException("Unknown course: " + name);
+        }
+
+        Course course = new Course(world);
+        course.createStandard();
+        return course;
+    }
+
+    public List<Body> getObstacles() {
+        return mObstacles;
+    }
+
+    private void createObstacle(float x, float y) {
+        CircleShape shape = new CircleShape();
+        shape.setRadius(0.1f);
+
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.position.set(new Vector2(x, y));
+
+        Body body = mWorld.createBody(bodyDef);
+        body.createFixture(shape, 0.0f);
+        shape.dispose();
+
+        mObstacles.add(body);
+    }
+
+    private void createWalls() {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.position.set(new Vector2(0, 0));
+
+        Body body = mWorld.createBody(bodyDef);
+
+        ChainShape shape = new ChainShape();
+        shape.createLoop(new float[] {
+            -WIDTH / 2f, -HEIGHT / 2f,
+            +WIDTH / 2f, -HEIGHT / 2f,
+            +WIDTH / 2f, +HEIGHT / 2f,
+            -WIDTH / 2f, +HEIGHT / 2f
+        });
+        body.createFixture(shape, 0.0f);
+        shape.dispose();
+    }
+
+    private void createBarrier() {
+        CircleShape circleShape = new CircleShape();
+        circleShape.setRadius(4f);
+
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.position.set(new Vector2(0, 0));
+
+        Body body = mWorld.createBody(bodyDef);
+        body.createFixture(circleShape, 0.0f);
+        circleShape.dispose();
+
+        PolygonShape polygonShape = new PolygonShape();
+        polygonShape.setAsBox(WIDTH / 4f, 1.5f);
+
+        bodyDef = new BodyDef();
+        bodyDef.position.set(new Vector2(WIDTH / 4f, 0));
+
+        body = mWorld.createBody(bodyDef);
+        body.createFixture(polygonShape, 0.0f);
+        polygonShape.dispose();
+    }
+
+    private void createStandard() {
+        createWalls();
+        createBarrier();
+
+        createObstacle(WIDTH / 4f, HEIGHT / 4f - 6.5f);
+        createObstacle(WIDTH / 4f, HEIGHT / 4f + 6.5f);
+
+        createObstacle(-WIDTH / 4f, HEIGHT / 4f - 6.5f);
+        createObstacle(-WIDTH / 4f, HEIGHT / 4f + 6.5f);
+        createObstacle(-WIDTH / 6f, HEIGHT / 4f - 6.5f);
+        createObstacle(-WIDTH / 6f, HEIGHT / 4f + 6.5f);
+
+        float gap = -WIDTH / 8f;
+        createObstacle(-gap, -HEIGHT / 4f);
+        createObstacle(0, -HEIGHT / 4f);
+        createObstacle(+gap, -HEIGHT / 4f);
+        createObstacle(+gap * 2f, -HEIGHT / 4f);
+
+        createObstacle(WIDTH / 4f, -HEIGHT / 4f - 6.5f);
+        createObstacle(WIDTH / 4f, -HEIGHT / 4f + 6.5f);
+    }
+
+}
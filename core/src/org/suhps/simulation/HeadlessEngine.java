@@ -0,0 +1,58 @@
+package org.suhps.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * Runs a scenario to completion without a window, input or rendering.
+ *
+ * Every run has its own world, so engines can run on separate threads at the
+ * same time. {@link com.badlogic.gdx.physics.box2d.Box2D#init()} must have
+ * been called first.
+ */
+public class HeadlessEngine {
+
+    public ScenarioResult run(Scenario scenario) {
+        World world = new World(new Vector2(0, 0), false);
+
+        try {
+            Course.create(scenario.getCourse(), world);
+
+            Submarine submarine = new Submarine(Submarine.DEFAULT_WIDTH,
+                    Submarine.DEFAULT_HEIGHT, Submarine.DEFAULT_MASS,
+                    Submarine.DEFAULT_CROSS_SECTIONAL_AREA, scenario.getDragCoefficient(),
+                    scenario.getLiftCoefficientSlope(), scenario.getSpinningDragCoefficient(),
+                    scenario.getFinsCrossSectionalArea(), scenario.getFinsLiftCoefficientSlope(),
+                    scenario.getFinsDragCoefficient(), Course.WIDTH / 2f - 15,
+                    Course.HEIGHT / 4f + scenario.getOffset(), Submarine.DEFAULT_INITIAL_SPEED,
+                    Submarine.DEFAULT_INITIAL_ANGLE, 0, world);
+
+            int steps = (int) Math.ceil(scenario.getDuration() / Submarine.STEP_SIZE);
+
+            Vector2 previous = submarine.getWorldCenter().cpy();
+            float distance = 0;
+
+            for (int i = 0; i < steps; i++) {
+                if (scenario.getPilot().equals(Scenario.PILOT_CONSTANT)) {
+                    submarine.setThrust(scenario.getThrust());
+                    submarine.setTheta(scenario.getTheta());
+                }
+
+                submarine.applyForces(null, Course.FLUID_DENSITY);
+                world.step(Submarine.STEP_SIZE, 6, 2);
+
+                Vector2 position = submarine.getWorldCenter();
+                distance += previous.dst(position);
+                previous.set(position);
+            }
+
+            Vector2 position = submarine.getWorldCenter();
+            return new ScenarioResult(steps * Submarine.STEP_SIZE, position.x, position.y,
+                    submarine.getAngle() * MathUtils.radiansToDegrees, distance);
+        } finally {
+            world.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.suhps.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The configuration of a single headless run: the course, the coefficients
+ * of the submarine, how it is controlled and for how long.
+ */
+public class Scenario {
+
+    public static final String PILOT_IDLE = "idle";
+    public static final String PILOT_CONSTANT = "constant";
+
+    // bump this when the force model or a course changes in a way which the
+    // hashed constants don't capture, so old journal entries are rerun
+    private static final int MODEL_VERSION = 1;
+
+    // the longest run allowed, in seconds
+    private static final float MAX_DURATION = 3600f;
+
+    private String mName;
+    private String mCourse = Course.STANDARD;
+
+    private float mDragCoefficient = Submarine.DEFAULT_DRAG_COEFFICIENT;
+    private float mLiftCoefficientSlope = Submarine.DEFAULT_LIFT_COEFFICIENT_SLOPE;
+    private float mSpinningDragCoefficient = Submarine.DEFAULT_SPINNING_DRAG_COEFFICIENT;
+    private float mFinsCrossSectionalArea = Submarine.DEFAULT_FINS_CROSS_SECTIONAL_AREA;
+    private float mFinsLiftCoefficientSlope = Submarine.DEFAULT_FINS_LIFT_COEFFICIENT_SLOPE;
+    private float mFinsDragCoefficient = Submarine.DEFAULT_FINS_DRAG_COEFFICIENT;
+
+    private String mPilot = PILOT_IDLE;
+    private float mThrust = 0f;
+    private float mTheta = 0f;
+
+    private float mOffset = 0f;
+    private float mDuration = 60f;
+
+    private String mHash;
+
+    public Scenario(String name) {
+        mName = name;
+    }
+
+    /**
+     * Set a property by the name used in the manifest.
+     */
+    public void set(String key, String value) {
+        if (key.equals("name")) {
+            mName = value;
+        } else if (key.equals("course")) {
+            if (!Course.isKnown(value)) {
+                throw new IllegalArgumentException("Unknown course: " + value);
+            }
+
+            mCourse = value;
+        } else if (key.equals("pilot")) {
+            if (!value.equals(PILOT_IDLE) && !value.equals(PILOT_CONSTANT)) {
+                throw new IllegalArgumentException("Unknown pilot: " + value);
+            }
+
+            mPilot = value;
+        } else if (key.equals("dragCoefficient")) {
+            mDragCoefficient = parseNonNegative(key, value);
+        } else if (key.equals("liftCoefficientSlope")) {
+            mLiftCoefficientSlope = parseNonNegative(key, value);
+        } else if (key.equals("spinningDragCoefficient")) {
+            mSpinningDragCoefficient = parseNonNegative(key, value);
+        } else if (key.equals("finsCrossSectionalArea")) {
+            mFinsCrossSectionalArea = parseNonNegative(key, value);
+        } else if (key.equals("finsLiftCoefficientSlope")) {
+            mFinsLiftCoefficientSlope = parseNonNegative(key, value);
+        } else if (key.equals("finsDragCoefficient")) {
+            mFinsDragCoefficient = parseNonNegative(key, value);
+        } else if (key.equals("thrust")) {
+            mThrust = parseFinite(key, value);
+        } else if (key.equals("theta")) {
+            mTheta = parseFinite(key, value);
+        } else if (key.equals("offset")) {
+            mOffset = parseFinite(key, value);
+        } else if (key.equals("duration")) {
+            float duration = parseFinite(key, value);
+            if (!(duration > 0 && duration <= MAX_DURATION)) {
+                throw new IllegalArgumentException("Duration must be between 0 and " + MAX_DURATION
+                        + " seconds: " + value);
+            }
+
+            mDuration = duration;
+        } else {
+            throw new IllegalArgumentException("Unknown scenario property: " + key);
+        }
+
+        mHash = null;
+    }
+
+    private static float parseFinite(String key, String value) {
+        float number = Float.parseFloat(value);
+        if (Float.isNaN(number) || Float.isInfinite(number)) {
+            throw new IllegalArgumentException(key + " must be finite: " + value);
+        }
+
+        return number;
+    }
+
+    private static float parseNonNegative(String key, String value) {
+        float number = parseFinite(key, value);
+        if (number < 0) {
+            throw new IllegalArgumentException(key + " must not be negative: " + value);
+        }
+
+        return number;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public String getCourse() {
+        return mCourse;
+    }
+
+    public float getDragCoefficient() {
+        return mDragCoefficient;
+    }
+
+    public float getLiftCoefficientSlope() {
+        return mLiftCoefficientSlope;
+    }
+
+    public float getSpinningDragCoefficient() {
+        return mSpinningDragCoefficient;
+    }
+
+    public float getFinsCrossSectionalArea() {
+        return mFinsCrossSectionalArea;
+    }
+
+    public float getFinsLiftCoefficientSlope() {
+        return mFinsLiftCoefficientSlope;
+    }
+
+    public float getFinsDragCoefficient() {
+        return mFinsDragCoefficient;
+    }
+
+    public String getPilot() {
+        return mPilot;
+    }
+
+    public float getThrust() {
+        return mThrust;
+    }
+
+    public float getTheta() {
+        return mTheta;
+    }
+
+    public float getOffset() {
+        return mOffset;
+    }
+
+    public float getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * A hash of everything which affects the outcome of the run, including
+     * the fixed properties of the model, so two scenarios which only differ
+     * by name have the same hash.
+     */
+    public String getHash() {
+        if (mHash == null) {
+            // the idle pilot ignores the thrust and fin angle, and the
+            // submarine clamps them to its limits
+            float thrust = 0f;
+            float theta = 0f;
+            if (mPilot.equals(PILOT_CONSTANT)) {
+                thrust = MathUtils.clamp(mThrust, 0, Submarine.MAX_THRUST);
+                theta = MathUtils.clamp(mTheta, -Submarine.MAX_THETA, +Submarine.MAX_THETA);
+            }
+
+            String model = MODEL_VERSION + "," + Submarine.STEP_SIZE + "," + Course.FLUID_DENSITY + ","
+                    + Submarine.DEFAULT_WIDTH + "," + Submarine.DEFAULT_HEIGHT + ","
+                    + Submarine.DEFAULT_MASS + "," + Submarine.DEFAULT_CROSS_SECTIONAL_AREA + ","
+                    + Submarine.DEFAULT_INITIAL_SPEED + "," + Submarine.DEFAULT_INITIAL_ANGLE;
+
+            String content = model + "," + mCourse + "," + mDragCoefficient + ","
+                    + mLiftCoefficientSlope + "," + mSpinningDragCoefficient + ","
+                    + mFinsCrossSectionalArea + "," + mFinsLiftCoefficientSlope + ","
+                    + mFinsDragCoefficient + "," + mPilot + "," + thrust + "," + theta + ","
+                    + mOffset + "," + mDuration;
+
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes("UTF-8"));
+
+                StringBuilder builder = new StringBuilder();
+                for (byte b : digest) {
+                    builder.append(String.format("%02x", b & 0xff));
+                }
+
+                mHash = builder.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return mHash;
+    }
+
+}
@@ -0,0 +1,248 @@
+package org.suhps.simulation;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An append-only CSV file of the scenarios which have finished, used to
+ * resume an interrupted batch.
+ *
+ * Entries are handed to a single writer thread, which appends everything
+ * queued and then syncs it to disk in one go, so a crash loses at most the
+ * runs which had not been synced yet and they are rerun on the next run. A
+ * partially written last line is ignored when the journal is opened again.
+ * Failed runs are recorded too, but don't count as finished, so they are
+ * retried on the next run. Every scenario gets its own line, even when it
+ * shares its hash, and so its result, with another.
+ */
+public class ScenarioJournal implements Disposable {
+
+    public static final String STATUS_DONE = "done";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final String HEADER = "Hash,Status,Time,X,Y,Angle,Distance,Name\n";
+    private static final int COLUMNS = 8;
+
+    // queued to tell the writer thread to stop
+    private static final String STOP = new String("");
+
+    private FileOutputStream mStream;
+
+    // the result columns of every finished hash, and the hash and name of
+    // every finished line, so duplicates can be given a line of their own
+    private Map<String, String> mResults = new ConcurrentHashMap<String, String>();
+    private Set<String> mNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private BlockingQueue<String> mLines = new LinkedBlockingQueue<String>();
+    private Thread mWriter;
+    private boolean mClosed = false;
+
+    private volatile IOException mError;
+
+    public ScenarioJournal(File file) throws IOException {
+        boolean exists = file.exists() && file.length() > 0;
+
+        if (exists) {
+            readFinished(file);
+        }
+
+        boolean terminated = !exists || endsWithNewline(file);
+
+        mStream = new FileOutputStream(file, true);
+
+        if (!exists) {
+            write(HEADER);
+        } else if (!terminated) {
+            // don't glue the next entry onto a line cut short by a crash
+            write("\n");
+        }
+
+        mWriter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeQueued();
+            }
+        }, "ScenarioJournal");
+        mWriter.start();
+    }
+
+    private void readFinished(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            // skip the header
+            String line = reader.readLine();
+
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(",", COLUMNS);
+                if (values.length == COLUMNS && values[1].equals(STATUS_DONE)) {
+                    mResults.put(values[0], values[2] + "," + values[3] + "," + values[4] + ","
+                            + values[5] + "," + values[6]);
+                    mNames.add(values[0] + "," + values[7]);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean endsWithNewline(File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            input.seek(input.length() - 1);
+            return input.read() == '\n';
+        } finally {
+            input.close();
+        }
+    }
+
+    private void write(String text) throws IOException {
+        mStream.write(text.getBytes("UTF-8"));
+        mStream.flush();
+        mStream.getFD().sync();
+    }
+
+    private void writeQueued() {
+        List<String> lines = new ArrayList<String>();
+
+        try {
+            boolean stop = false;
+
+            while (!stop) {
+                // wait for an entry, then take everything queued behind it
+                // while the last sync was in progress
+                lines.add(mLines.take());
+                mLines.drainTo(lines);
+
+                StringBuilder builder = new StringBuilder();
+                for (String line : lines) {
+                    if (line == STOP) {
+                        stop = true;
+                    } else {
+                        builder.append(line);
+                    }
+                }
+
+                lines.clear();
+
+                if (builder.length() > 0) {
+                    write(builder.toString());
+                }
+            }
+        } catch (IOException e) {
+            mError = e;
+        } catch (InterruptedException e) {
+            mError = new IOException("Interrupted while writing the journal");
+        }
+    }
+
+    /**
+     * Write every queued entry, stop the writer thread and close the file.
+     *
+     * @throws IOException if any entry could not be written
+     */
+    public synchronized void close() throws IOException {
+        if (mClosed) {
+            return;
+        }
+
+        mClosed = true;
+        mLines.add(STOP);
+
+        try {
+            mWriter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the journal");
+        } finally {
+            mStream.close();
+        }
+
+        if (mError != null) {
+            throw mError;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Whether the scenario with the given hash has already finished
+     * successfully.
+     */
+    public boolean isFinished(String hash) {
+        return mResults.containsKey(hash);
+    }
+
+    private void append(String line) throws IOException {
+        if (mError != null) {
+            throw mError;
+        }
+
+        mLines.add(line);
+    }
+
+    /**
+     * Queue a successful run to be written, with a line for each of the
+     * scenarios, which must all have the same hash. This doesn't wait for
+     * the disk.
+     *
+     * @throws IOException if an earlier entry could not be written
+     */
+    public void record(List<Scenario> scenarios, ScenarioResult result) throws IOException {
+        String hash = scenarios.get(0).getHash();
+        mResults.put(hash, result.getTime() + "," + result.getX() + "," + result.getY() + ","
+                + result.getAngle() + "," + result.getDistance());
+
+        recordFinished(scenarios);
+    }
+
+    /**
+     * Queue a line for each of the scenarios, which must have the same hash
+     * as an already finished run, unless it has one already.
+     *
+     * @throws IOException if an earlier entry could not be written
+     */
+    public void recordFinished(List<Scenario> scenarios) throws IOException {
+        for (Scenario scenario : scenarios) {
+            String hash = scenario.getHash();
+
+            if (mNames.add(hash + "," + scenario.getName())) {
+                append(hash + "," + STATUS_DONE + "," + mResults.get(hash) + ","
+                        + scenario.getName() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Queue a failed run to be written, with a line for each of the
+     * scenarios. This doesn't wait for the disk.
+     *
+     * @throws IOException if an earlier entry could not be written
+     */
+    public void recordFailure(List<Scenario> scenarios) throws IOException {
+        for (Scenario scenario : scenarios) {
+            append(scenario.getHash() + "," + STATUS_FAILED + ",,,,,," + scenario.getName() + "\n");
+        }
+    }
+
+}
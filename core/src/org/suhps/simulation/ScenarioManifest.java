@@ -0,0 +1,75 @@
+package org.suhps.simulation;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads scenarios from a CSV manifest.
+ *
+ * The first line names the columns, using the property names of
+ * {@link Scenario#set(String, String)}, and every other line is a scenario.
+ * Properties which are not given keep their defaults. Blank lines and lines
+ * starting with '#' are ignored.
+ */
+public class ScenarioManifest {
+
+    private ScenarioManifest() {
+
+    }
+
+    public static List<Scenario> read(File file) throws IOException {
+        List<Scenario> scenarios = new ArrayList<Scenario>();
+
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String[] columns = null;
+            int lineNumber = 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber += 1;
+                line = line.trim();
+
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] values = line.split(",", -1);
+
+                if (columns == null) {
+                    columns = values;
+                    continue;
+                }
+
+                if (values.length != columns.length) {
+                    throw new IOException(file + ":" + lineNumber + ": expected " + columns.length
+                            + " values but found " + values.length);
+                }
+
+                Scenario scenario = new Scenario(file.getName() + ":" + lineNumber);
+
+                try {
+                    for (int i = 0; i < columns.length; i++) {
+                        String value = values[i].trim();
+                        if (!value.isEmpty()) {
+                            scenario.set(columns[i].trim(), value);
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+
+                scenarios.add(scenario);
+            }
+        } finally {
+            reader.close();
+        }
+
+        return scenarios;
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.suhps.simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of scenarios on a pool of headless engines.
+ *
+ * Scenarios with the same hash are only run once, but the result is
+ * journalled under each of their names. Scenarios which the journal says have
+ * already finished are skipped, so running the same manifest again resumes
+ * the batch and retries any scenarios which failed.
+ */
+public class ScenarioQueue {
+
+    private ScenarioJournal mJournal;
+    private int mWorkers;
+
+    private AtomicInteger mCompleted = new AtomicInteger(0);
+    private AtomicInteger mFailed = new AtomicInteger(0);
+
+    // a journal write error or an Error from an engine, either of which
+    // stops the batch
+    private volatile Throwable mError;
+
+    public ScenarioQueue(ScenarioJournal journal, int workers) {
+        mJournal = journal;
+        mWorkers = workers;
+    }
+
+    public ScenarioQueue(ScenarioJournal journal) {
+        this(journal, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static Map<String, List<Scenario>> groupByHash(List<Scenario> scenarios) {
+        Map<String, List<Scenario>> groups = new LinkedHashMap<String, List<Scenario>>();
+
+        for (Scenario scenario : scenarios) {
+            List<Scenario> group = groups.get(scenario.getHash());
+            if (group == null) {
+                group = new ArrayList<Scenario>();
+                groups.put(scenario.getHash(), group);
+            }
+
+            group.add(scenario);
+        }
+
+        return groups;
+    }
+
+    /**
+     * The scenarios which still need to be run, without duplicates.
+     */
+    public List<Scenario> getPending(List<Scenario> scenarios) {
+        List<Scenario> pending = new ArrayList<Scenario>();
+
+        for (List<Scenario> group : groupByHash(scenarios).values()) {
+            if (!mJournal.isFinished(group.get(0).getHash())) {
+                pending.add(group.get(0));
+            }
+        }
+
+        return pending;
+    }
+
+    /**
+     * Run every pending scenario, blocking until they have all finished.
+     *
+     * @throws IOException if the journal could not be written, in which case
+     *         the remaining scenarios are abandoned, as they are if an engine
+     *         throws an Error, which is rethrown
+     */
+    public void run(List<Scenario> scenarios) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(mWorkers);
+
+        for (final List<Scenario> group : groupByHash(scenarios).values()) {
+            if (mJournal.isFinished(group.get(0).getHash())) {
+                // give rows added since the result was journalled a line
+                mJournal.recordFinished(group);
+                continue;
+            }
+
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    execute(group);
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+            if (mError != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        if (mError instanceof IOException) {
+            throw (IOException) mError;
+        } else if (mError instanceof Error) {
+            throw (Error) mError;
+        }
+    }
+
+    private void execute(List<Scenario> group) {
+        if (mError != null) {
+            return;
+        }
+
+        try {
+            ScenarioResult result;
+
+            try {
+                result = new HeadlessEngine().run(group.get(0));
+            } catch (Throwable e) {
+                // record every failure, even an Error, so the summary adds up,
+                // but stop the batch after an Error as the JVM may be broken
+                Scenario scenario = group.get(0);
+                System.err.println("Scenario " + scenario.getName() + " (" + scenario.getHash()
+                        + ") failed: " + e);
+
+                mJournal.recordFailure(group);
+                mFailed.incrementAndGet();
+
+                if (!(e instanceof Exception)) {
+                    mError = e;
+                }
+
+                return;
+            }
+
+            mJournal.record(group, result);
+            mCompleted.incrementAndGet();
+        } catch (IOException e) {
+            mError = e;
+        }
+    }
+
+    public int getCompleted() {
+        return mCompleted.get();
+    }
+
+    public int getFailed() {
+        return mFailed.get();
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.suhps.simulation;
+
+/**
+ * The final state of a submarine at the end of a scenario.
+ */
+public class ScenarioResult {
+
+    private float mTime;
+    private float mX;
+    private float mY;
+    private float mAngle;
+    private float mDistance;
+
+    public ScenarioResult(float time, float x, float y, float angle, float distance) {
+        mTime = time;
+        mX = x;
+        mY = y;
+        mAngle = angle;
+        mDistance = distance;
+    }
+
+    public float getTime() {
+        return mTime;
+    }
+
+    public float getX() {
+        return mX;
+    }
+
+    public float getY() {
+        return mY;
+    }
+
+    public float getAngle() {
+        return mAngle;
+    }
+
+    /**
+     * The total length of the path the submarine took.
+     */
+    public float getDistance() {
+        return mDistance;
+    }
+
+}
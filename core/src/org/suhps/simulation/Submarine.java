@@ -17,8 +17,27 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
     private static final String TAG = "Submarine";
 
-    private static final float MAX_THETA = 20f;
-    private static final float MAX_THRUST = 150f;
+    public static final float MAX_THETA = 20f;
+    public static final float MAX_THRUST = 150f;
+
+    // The rate at which the physics is stepped
+    public static final float STEP_SIZE = 1 / 100f;
+
+    // Default properties of the submarine
+    public static final float DEFAULT_WIDTH = 2.2f;
+    public static final float DEFAULT_HEIGHT = 0.6f;
+    public static final float DEFAULT_MASS = 140f;
+    public static final float DEFAULT_CROSS_SECTIONAL_AREA = MathUtils.PI * 0.3f * 0.6f;
+    public static final float DEFAULT_DRAG_COEFFICIENT = 0.04f;
+    public static final float DEFAULT_LIFT_COEFFICIENT_SLOPE = MathUtils.PI / 2f;
+    public static final float DEFAULT_SPINNING_DRAG_COEFFICIENT = 2f;
+    public static final float DEFAULT_INITIAL_SPEED = 0f;
+    public static final float DEFAULT_INITIAL_ANGLE = MathUtils.PI;
+
+    // Default properties of the fins
+    public static final float DEFAULT_FINS_CROSS_SECTIONAL_AREA = 0.1f;
+    public static final float DEFAULT_FINS_LIFT_COEFFICIENT_SLOPE = MathUtils.PI;
+    public static final float DEFAULT_FINS_DRAG_COEFFICIENT = 0.03f;
 
     private float mWidth;
     private float mCrossSectionalArea;
@@ -30,6 +49,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
     private float mFinsDragCoefficient;
 
     private Body mBody;
+    private TrajectoryHistory mHistory;
 
     private float mThrust = 0;
     private float mTheta = 0;
@@ -37,7 +57,8 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
     public Submarine(float width, float height, float mass, float crossSectionalArea,
                      float dragCoefficient, float liftCoefficientSlope, float spinningDragCoefficient,
                      float finsCrossSectionalArea, float finsLiftCoefficientSlope, float finsDragCoefficient,
-                     float initialX, float initialY, float initialSpeed, float initialAngle, World world) {
+                     float initialX, float initialY, float initialSpeed, float initialAngle,
+                     int historyCapacity, World world) {
         mWidth = width;
 
         mCrossSectionalArea = crossSectionalArea;
@@ -72,6 +93,11 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
         shape.dispose();
 
         mBody.setLinearVelocity(initialSpeed, 0f);
+
+        // a capacity of zero means the submarine keeps no history at all
+        if (historyCapacity > 0) {
+            mHistory = new TrajectoryHistory(historyCapacity);
+        }
     }
 
     @Override
@@ -79,7 +105,14 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
     }
 
-    private void drawForce(ShapeRenderer renderer, Vector2 position, Vector2 value) {
+    private void drawForce(ShapeRenderer renderer, float r, float g, float b, Vector2 position,
+                           Vector2 value) {
+        if (renderer == null) {
+            return;
+        }
+
+        renderer.setColor(r, g, b, 1f);
+
         Vector2 end = Vector2.X.set(value).scl(0.02f).add(position);
         renderer.x(position, 0.1f);
         renderer.line(position, end);
@@ -106,8 +139,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
         mBody.applyForce(thrustVector, position, true);
 
-        renderer.setColor(1f, 0f, 0f, 1f);
-        drawForce(renderer, position, thrustVector);
+        drawForce(renderer, 1f, 0f, 0f, position, thrustVector);
     }
 
     private void applyDrag(ShapeRenderer renderer, float fluidDensity) {
@@ -121,8 +153,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
         Vector2 position = mBody.getWorldCenter().cpy();
 
-        renderer.setColor(0f, 1f, 0f, 1f);
-        drawForce(renderer, position, drag);
+        drawForce(renderer, 0f, 1f, 0f, position, drag);
     }
 
     private void applyLift(ShapeRenderer renderer, float fluidDensity) {
@@ -144,8 +175,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
             mBody.applyForce(lift, position, true);
 
-            renderer.setColor(0f, 0f, 1f, 1f);
-            drawForce(renderer, position, lift);
+            drawForce(renderer, 0f, 0f, 1f, position, lift);
         }
     }
 
@@ -168,8 +198,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
             mBody.applyForce(lift, position, true);
 
-            renderer.setColor(1f, 0.5f, 0.3f, 1f);
-            drawForce(renderer, position, lift);
+            drawForce(renderer, 1f, 0.5f, 0.3f, position, lift);
         }
     }
 
@@ -184,8 +213,7 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
 
         Vector2 position = mBody.getWorldCenter().cpy();
 
-        renderer.setColor(0.9f, 0f, 0.7f, 1f);
-        drawForce(renderer, position, drag);
+        drawForce(renderer, 0.9f, 0f, 0.7f, position, drag);
     }
 
     private void applySpinningDrag(float fluidDensity) {
@@ -219,6 +247,14 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
             mThrust += 1f;
         }
 
+        applyForces(renderer, fluidDensity);
+    }
+
+    /**
+     * Apply the forces acting on the submarine for the current thrust and
+     * fin angle. The forces are drawn if a renderer is given.
+     */
+    public void applyForces(ShapeRenderer renderer, float fluidDensity) {
         mTheta = MathUtils.clamp(mTheta, -MAX_THETA, +MAX_THETA);
         mThrust = MathUtils.clamp(mThrust, 0, MAX_THRUST);
         applyThrust(renderer);
@@ -229,6 +265,31 @@ public class Submarine implements Disposable, InputProcessor, ControllerListener
         applySpinningDrag(fluidDensity);
     }
 
+    public void setThrust(float thrust) {
+        mThrust = thrust;
+    }
+
+    public void setTheta(float theta) {
+        mTheta = theta;
+    }
+
+    public void record(float time) {
+        if (mHistory == null) {
+            return;
+        }
+
+        Vector2 position = mBody.getWorldCenter();
+        mHistory.write(time, position.x, position.y, mBody.getAngle(), getAngleOfAttack(),
+                mBody.getLinearVelocity().len());
+    }
+
+    /**
+     * The recent states of the submarine, or null if it keeps no history.
+     */
+    public TrajectoryHistory getHistory() {
+        return mHistory;
+    }
+
     public Vector2 getWorldCenter() {
         return mBody.getWorldCenter();
     }
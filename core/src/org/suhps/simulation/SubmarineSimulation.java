@@ -16,30 +16,9 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
 
     private static final String TAG = "SUHPS";
 
-    // Properties of the submarine
-    private static final float SUB_WIDTH = 2.2f;
-    private static final float SUB_HEIGHT = 0.6f;
-    private static final float SUB_MASS = 140f;
-    private static final float SUB_CROSS_SECTIONAL_AREA = MathUtils.PI * 0.3f * 0.6f;
-    private static final float SUB_DRAG_COEFFICIENT = 0.04f;
-    private static final float SUB_LIFT_COEFFICIENT_SLOPE = MathUtils.PI / 2f;
-    private static final float SUB_SPINNING_DRAG_COEFFICIENT = 2f;
-    private static final float SUB_INITIAL_SPEED = 0f;
-    private static final float SUB_INITIAL_ANGLE = MathUtils.PI;
-
-    // Properties of the fins
-    private static final float FINS_CROSS_SECTIONAL_AREA = 0.1f;
-    private static final float FINS_LIFT_COEFFICIENT_SLOPE = MathUtils.PI;
-    private static final float FINS_DRAG_COEFFICIENT = 0.03f;
-
     // Properties of the simulation
-    private static final float SIM_STEP_SIZE = 1 / 100f;
     private static final int SIM_NUMBER_OF_SUBS = 1;
-
-    // Properties of the course
-    private static final float COURSE_WIDTH = 90f;
-    private static final float COURSE_HEIGHT = 52f;
-    private static final float FLUID_DENSITY = 1000f;
+    private static final float SIM_HISTORY_DURATION = 30f;
 
     private World mWorld;
 
@@ -49,12 +28,14 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
 
     private Logger mLogger;
 
-    private List<Body> mObstacles = new ArrayList<Body>();
+    private Course mCourse;
     private List<Submarine> mSubmarines = new ArrayList<Submarine>();
 
     private boolean mPaused = true;
     private int mFrameNumber = 0;
 
+    private float[] mTrailRecords = new float[0];
+
     @Override
     public void create() {
         Box2D.init();
@@ -75,7 +56,7 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
             mSubmarines.add(createSubmarine());
         }
 
-        createCourse();
+        mCourse = Course.create(Course.STANDARD, mWorld);
 
         Gdx.input.setInputProcessor(this);
 
@@ -92,86 +73,38 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
     private Submarine createSubmarine() {
         float dy = MathUtils.random(-10f, 10f);
 
-        return new Submarine(SUB_WIDTH, SUB_HEIGHT, SUB_MASS, SUB_CROSS_SECTIONAL_AREA,
-                SUB_DRAG_COEFFICIENT, SUB_LIFT_COEFFICIENT_SLOPE, SUB_SPINNING_DRAG_COEFFICIENT,
-                FINS_CROSS_SECTIONAL_AREA, FINS_LIFT_COEFFICIENT_SLOPE, FINS_DRAG_COEFFICIENT,
-                COURSE_WIDTH / 2f - 15, COURSE_HEIGHT / 4f + dy, SUB_INITIAL_SPEED, SUB_INITIAL_ANGLE,
-                mWorld);
+        return new Submarine(Submarine.DEFAULT_WIDTH, Submarine.DEFAULT_HEIGHT, Submarine.DEFAULT_MASS,
+                Submarine.DEFAULT_CROSS_SECTIONAL_AREA, Submarine.DEFAULT_DRAG_COEFFICIENT,
+                Submarine.DEFAULT_LIFT_COEFFICIENT_SLOPE, Submarine.DEFAULT_SPINNING_DRAG_COEFFICIENT,
+                Submarine.DEFAULT_FINS_CROSS_SECTIONAL_AREA, Submarine.DEFAULT_FINS_LIFT_COEFFICIENT_SLOPE,
+                Submarine.DEFAULT_FINS_DRAG_COEFFICIENT, Course.WIDTH / 2f - 15, Course.HEIGHT / 4f + dy,
+                Submarine.DEFAULT_INITIAL_SPEED, Submarine.DEFAULT_INITIAL_ANGLE,
+                (int) Math.ceil(SIM_HISTORY_DURATION / Submarine.STEP_SIZE), mWorld);
     }
 
-    private void createObstacle(float x, float y) {
-        CircleShape shape = new CircleShape();
-        shape.setRadius(0.1f);
-
-        BodyDef bodyDef = new BodyDef();
-        bodyDef.position.set(new Vector2(x, y));
-
-        Body body = mWorld.createBody(bodyDef);
-        body.createFixture(shape, 0.0f);
-        shape.dispose();
-
-        mObstacles.add(body);
-    }
-
-    private void createWalls() {
-        BodyDef bodyDef = new BodyDef();
-        bodyDef.position.set(new Vector2(0, 0));
-
-        Body body = mWorld.createBody(bodyDef);
-
-        ChainShape shape = new ChainShape();
-        shape.createLoop(new float[] {
-            -COURSE_WIDTH / 2f, -COURSE_HEIGHT / 2f,
-            +COURSE_WIDTH / 2f, -COURSE_HEIGHT / 2f,
-            +COURSE_WIDTH / 2f, +COURSE_HEIGHT / 2f,
-            -COURSE_WIDTH / 2f, +COURSE_HEIGHT / 2f
-        });
-        body.createFixture(shape, 0.0f);
-        shape.dispose();
-    }
-
-    private void createBarrier() {
-        CircleShape circleShape = new CircleShape();
-        circleShape.setRadius(4f);
-
-        BodyDef bodyDef = new BodyDef();
-        bodyDef.position.set(new Vector2(0, 0));
-
-        Body body = mWorld.createBody(bodyDef);
-        body.createFixture(circleShape, 0.0f);
-        circleShape.dispose();
-
-        PolygonShape polygonShape = new PolygonShape();
-        polygonShape.setAsBox(COURSE_WIDTH / 4f, 1.5f);
-
-        bodyDef = new BodyDef();
-        bodyDef.position.set(new Vector2(COURSE_WIDTH / 4f, 0));
-
-        body = mWorld.createBody(bodyDef);
-        body.createFixture(polygonShape, 0.0f);
-        polygonShape.dispose();
-    }
-
-    private void createCourse() {
-        createWalls();
-        createBarrier();
+    private void drawTrail(TrajectoryHistory history) {
+        if (history == null) {
+            return;
+        }
 
-        createObstacle(COURSE_WIDTH / 4f, COURSE_HEIGHT / 4f - 6.5f);
-        createObstacle(COURSE_WIDTH / 4f, COURSE_HEIGHT / 4f + 6.5f);
+        int size = history.getCapacity() * TrajectoryHistory.RECORD_FIELDS;
+        if (mTrailRecords.length < size) {
+            mTrailRecords = new float[size];
+        }
 
-        createObstacle(-COURSE_WIDTH / 4f, COURSE_HEIGHT / 4f - 6.5f);
-        createObstacle(-COURSE_WIDTH / 4f, COURSE_HEIGHT / 4f + 6.5f);
-        createObstacle(-COURSE_WIDTH / 6f, COURSE_HEIGHT / 4f - 6.5f);
-        createObstacle(-COURSE_WIDTH / 6f, COURSE_HEIGHT / 4f + 6.5f);
+        long head = history.getHead();
+        long tail = Math.max(0, head - history.getCapacity());
+        long first = history.read(tail, head, mTrailRecords);
 
-        float gap = -COURSE_WIDTH / 8f;
-        createObstacle(-gap, -COURSE_HEIGHT / 4f);
-        createObstacle(0, -COURSE_HEIGHT / 4f);
-        createObstacle(+gap, -COURSE_HEIGHT / 4f);
-        createObstacle(+gap * 2f, -COURSE_HEIGHT / 4f);
+        for (long i = first + 1; i < head; i++) {
+            int previous = (int) (i - 1 - tail) * TrajectoryHistory.RECORD_FIELDS;
+            int current = (int) (i - tail) * TrajectoryHistory.RECORD_FIELDS;
 
-        createObstacle(COURSE_WIDTH / 4f, -COURSE_HEIGHT / 4f - 6.5f);
-        createObstacle(COURSE_WIDTH / 4f, -COURSE_HEIGHT / 4f + 6.5f);
+            mShapeRenderer.line(mTrailRecords[previous + TrajectoryHistory.X],
+                    mTrailRecords[previous + TrajectoryHistory.Y],
+                    mTrailRecords[current + TrajectoryHistory.X],
+                    mTrailRecords[current + TrajectoryHistory.Y]);
+        }
     }
 
     @Override
@@ -182,7 +115,7 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
         mShapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         mShapeRenderer.identity();
         mShapeRenderer.setColor(0.95f, 1f, 1f, 1);
-        mShapeRenderer.rect(-COURSE_WIDTH / 2f, -COURSE_HEIGHT / 2f, COURSE_WIDTH, COURSE_HEIGHT);
+        mShapeRenderer.rect(-Course.WIDTH / 2f, -Course.HEIGHT / 2f, Course.WIDTH, Course.HEIGHT);
         mShapeRenderer.end();
 
         mCamera.update();
@@ -190,7 +123,11 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
         mShapeRenderer.setProjectionMatrix(mCamera.combined);
 
         if (!mPaused) {
-            mWorld.step(SIM_STEP_SIZE, 6, 2);
+            mWorld.step(Submarine.STEP_SIZE, 6, 2);
+
+            for (Submarine submarine : mSubmarines) {
+                submarine.record(mFrameNumber * Submarine.STEP_SIZE);
+            }
         }
 
         mShapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
@@ -202,13 +139,14 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
             mShapeRenderer.translate(position.x, position.y, 0);
             mShapeRenderer.rotate(0, 0, 1, submarine.getAngle() * MathUtils.radiansToDegrees);
             mShapeRenderer.setColor(0, 0, 0, 1);
-            mShapeRenderer.ellipse(-SUB_WIDTH, -SUB_HEIGHT, SUB_WIDTH * 2f, SUB_HEIGHT * 2f);
+            mShapeRenderer.ellipse(-Submarine.DEFAULT_WIDTH, -Submarine.DEFAULT_HEIGHT,
+                    Submarine.DEFAULT_WIDTH * 2f, Submarine.DEFAULT_HEIGHT * 2f);
         }
 
         // obstacles
         mShapeRenderer.setColor(0.5f, 0.5f, 0.5f, 1);
 
-        for (Body body : mObstacles) {
+        for (Body body : mCourse.getObstacles()) {
             mShapeRenderer.identity();
             mShapeRenderer.translate(body.getWorldCenter().x, body.getWorldCenter().y, 0);
             mShapeRenderer.circle(0, 0, 0.4f, 8);
@@ -217,7 +155,7 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
         // barrier
         mShapeRenderer.identity();
         mShapeRenderer.circle(0, 0, 4f, 32);
-        mShapeRenderer.rect(0, -1.5f, COURSE_WIDTH / 2f, 3f);
+        mShapeRenderer.rect(0, -1.5f, Course.WIDTH / 2f, 3f);
 
         mShapeRenderer.end();
 
@@ -225,8 +163,15 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
 
         mShapeRenderer.identity();
 
+        // trails
+        mShapeRenderer.setColor(0.4f, 0.6f, 0.8f, 1);
+
+        for (Submarine submarine : mSubmarines) {
+            drawTrail(submarine.getHistory());
+        }
+
         for (Submarine submarine : mSubmarines) {
-            submarine.update(mShapeRenderer, FLUID_DENSITY);
+            submarine.update(mShapeRenderer, Course.FLUID_DENSITY);
         }
 
         mShapeRenderer.end();
@@ -236,7 +181,7 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
         if (!mPaused) {
             Submarine submarine = mSubmarines.get(0);
 
-            mLogger.log(mFrameNumber * SIM_STEP_SIZE, submarine.getWorldCenter().x,
+            mLogger.log(mFrameNumber * Submarine.STEP_SIZE, submarine.getWorldCenter().x,
                     submarine.getWorldCenter().y, submarine.getAngle() * MathUtils.radiansToDegrees,
                     submarine.getAngleOfAttack() * MathUtils.radiansToDegrees);
 
@@ -250,8 +195,8 @@ public class SubmarineSimulation extends ApplicationAdapter implements InputProc
         mCamera.setToOrtho(false);
         mCamera.position.set(0, 0, 0);
 
-        float zoom1 = COURSE_WIDTH / w;
-        float zoom2 = COURSE_HEIGHT / h;
+        float zoom1 = Course.WIDTH / w;
+        float zoom2 = Course.HEIGHT / h;
 
         mCamera.zoom = Math.max(zoom1, zoom2);
 
@@ -0,0 +1,149 @@
+package org.suhps.simulation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-capacity, off-heap ring buffer of the recent states of a submarine.
+ *
+ * Only one thread may write, but any number can read without locking. A read
+ * copies the records first and then validates them against the writer's
+ * claimed sequence, rejecting any which were overwritten meanwhile.
+ */
+public class TrajectoryHistory {
+
+    private static final int FIELD_TIME = 0;
+    private static final int FIELD_X = 4;
+    private static final int FIELD_Y = 8;
+    private static final int FIELD_ANGLE = 12;
+    private static final int FIELD_ANGLE_OF_ATTACK = 16;
+    private static final int FIELD_SPEED = 20;
+
+    /**
+     * The number of bytes in a single record.
+     */
+    public static final int RECORD_SIZE = 24;
+
+    /**
+     * The number of floats copied out by {@link #read(long, float[])}.
+     */
+    public static final int RECORD_FIELDS = RECORD_SIZE / 4;
+
+    public static final int TIME = FIELD_TIME / 4;
+    public static final int X = FIELD_X / 4;
+    public static final int Y = FIELD_Y / 4;
+    public static final int ANGLE = FIELD_ANGLE / 4;
+    public static final int ANGLE_OF_ATTACK = FIELD_ANGLE_OF_ATTACK / 4;
+    public static final int SPEED = FIELD_SPEED / 4;
+
+    private final int mCapacity;
+    private final ByteBuffer mBuffer;
+
+    // the number of records the writer has started and finished writing
+    private final AtomicLong mClaimed = new AtomicLong(0);
+    private final AtomicLong mPublished = new AtomicLong(0);
+
+    public TrajectoryHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        mCapacity = capacity;
+        mBuffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * The sequence number of the next record to be written, i.e. the total
+     * number of records written so far.
+     */
+    public long getHead() {
+        return mPublished.get();
+    }
+
+    /**
+     * The sequence number of the oldest record which is still held.
+     */
+    public long getTail() {
+        return Math.max(0, mPublished.get() - mCapacity);
+    }
+
+    /**
+     * Append a record, overwriting the oldest one if the history is full.
+     * This must only be called from a single thread.
+     */
+    public void write(float time, float x, float y, float angle, float angleOfAttack, float speed) {
+        long sequence = mPublished.get();
+        int offset = (int) (sequence % mCapacity) * RECORD_SIZE;
+
+        // claim the slot before touching it, so readers of the record which
+        // is about to be overwritten fail their validation
+        mClaimed.incrementAndGet();
+
+        mBuffer.putFloat(offset + FIELD_TIME, time);
+        mBuffer.putFloat(offset + FIELD_X, x);
+        mBuffer.putFloat(offset + FIELD_Y, y);
+        mBuffer.putFloat(offset + FIELD_ANGLE, angle);
+        mBuffer.putFloat(offset + FIELD_ANGLE_OF_ATTACK, angleOfAttack);
+        mBuffer.putFloat(offset + FIELD_SPEED, speed);
+
+        mPublished.set(sequence + 1);
+    }
+
+    /**
+     * Copy the record with the given sequence number into {@code out}, which
+     * must hold at least {@link #RECORD_FIELDS} floats.
+     *
+     * @return false if the record is not available, either because it has
+     *         not been written yet or because it has been overwritten
+     */
+    public boolean read(long sequence, float[] out) {
+        if (sequence < 0 || sequence >= mPublished.get()) {
+            return false;
+        }
+
+        return read(sequence, sequence + 1, out) == sequence;
+    }
+
+    /**
+     * Copy the records from {@code from} up to but excluding {@code to} into
+     * {@code out}, {@link #RECORD_FIELDS} floats each, starting with record
+     * {@code from} at index 0. The records must already have been published,
+     * i.e. {@code to} must not be after {@link #getHead()}.
+     *
+     * @return the first sequence number in the range whose record is valid,
+     *         or {@code to} if they have all been overwritten
+     */
+    public long read(long from, long to, float[] out) {
+        if (from < 0 || from > to || to > mPublished.get()) {
+            throw new IllegalArgumentException("Invalid range: " + from + " to " + to);
+        }
+
+        for (long sequence = from; sequence < to; sequence++) {
+            int offset = (int) (sequence % mCapacity) * RECORD_SIZE;
+            int index = (int) (sequence - from) * RECORD_FIELDS;
+
+            out[index + TIME] = mBuffer.getFloat(offset + FIELD_TIME);
+            out[index + X] = mBuffer.getFloat(offset + FIELD_X);
+            out[index + Y] = mBuffer.getFloat(offset + FIELD_Y);
+            out[index + ANGLE] = mBuffer.getFloat(offset + FIELD_ANGLE);
+            out[index + ANGLE_OF_ATTACK] = mBuffer.getFloat(offset + FIELD_ANGLE_OF_ATTACK);
+            out[index + SPEED] = mBuffer.getFloat(offset + FIELD_SPEED);
+        }
+
+        // The buffer is accessed with plain gets and puts, which may be
+        // reordered around a volatile get, so this validation and the
+        // writer's claim are both read-modify-writes on the same counter,
+        // which act as a volatile read and write and are totally ordered.
+        // If the validation comes after a claim it sees it and rejects that
+        // record. If it comes before, the claim reads the value it wrote, so
+        // the copy happens-before the writer's stores and saw none of them.
+        long oldest = mClaimed.getAndAdd(0) - mCapacity;
+        return Math.min(to, Math.max(from, oldest));
+    }
+
+}
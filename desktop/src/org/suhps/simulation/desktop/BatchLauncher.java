@@ -0,0 +1,55 @@
+package org.suhps.simulation.desktop;
+
+import com.badlogic.gdx.physics.box2d.Box2D;
+import org.suhps.simulation.Scenario;
+import org.suhps.simulation.ScenarioJournal;
+import org.suhps.simulation.ScenarioManifest;
+import org.suhps.simulation.ScenarioQueue;
+
+import java.io.File;
+import java.util.List;
+
+public class BatchLauncher {
+    private static void usage() {
+        System.err.println("Usage: BatchLauncher <manifest.csv> <journal.csv> [workers]");
+        System.exit(1);
+    }
+
+    public static void main (String[] arg) throws Exception {
+        if (arg.length < 2 || arg.length > 3) {
+            usage();
+        }
+
+        int workers = Runtime.getRuntime().availableProcessors();
+        if (arg.length == 3) {
+            try {
+                workers = Integer.parseInt(arg[2]);
+            } catch (NumberFormatException e) {
+                usage();
+            }
+
+            if (workers <= 0) {
+                usage();
+            }
+        }
+
+        Box2D.init();
+
+        List<Scenario> scenarios = ScenarioManifest.read(new File(arg[0]));
+
+        ScenarioJournal journal = new ScenarioJournal(new File(arg[1]));
+        try {
+            ScenarioQueue queue = new ScenarioQueue(journal, workers);
+
+            int pending = queue.getPending(scenarios).size();
+            System.out.println(scenarios.size() + " scenarios, " + pending + " to run.");
+
+            queue.run(scenarios);
+            journal.close();
+
+            System.out.println(queue.getCompleted() + " completed, " + queue.getFailed() + " failed.");
+        } finally {
+            journal.dispose();
+        }
+    }
+}